@@ -1,5 +1,6 @@
 import java.util.Scanner;
 import java.io.File;
+import java.io.IOException;
 
 public class BlackjackGame {
     private Scanner scanner;
@@ -9,12 +10,24 @@ public class BlackjackGame {
     private int balance;
     private String username;
     private String password;
+    private RiskStats stats;
+    private final TableFeed feed;
+    private RoundJournal journal;
 
     public BlackjackGame(Scanner scanner) {
         this.scanner = scanner;
+        this.feed = new TableFeed(1024);
+    }
+
+    /**
+     * Live feed of table events that spectators can subscribe to.
+     */
+    public TableFeed getFeed() {
+        return feed;
     }
 
     public void startGame() {
+        RoundJournal.recoverAll();
         showRules();
         mainMenu();
     }
@@ -37,6 +50,7 @@ public class BlackjackGame {
             System.out.println("2. Load existing profile");
             System.out.println("3. Create new profile");
             System.out.println("4. Delete profile");
+            System.out.println("5. Show leaderboard");
             System.out.print("Choice: ");
             String choice = scanner.nextLine();
 
@@ -44,6 +58,7 @@ public class BlackjackGame {
             else if(choice.equals("2")) loadProfile();
             else if(choice.equals("3")) newProfile();
             else if(choice.equals("4")) deleteProfile();
+            else if(choice.equals("5")) showLeaderboard();
             else System.out.println("Invalid choice.");
 
             if(player != null) break; // profile loaded or created
@@ -61,6 +76,19 @@ public class BlackjackGame {
         for(String p : profiles) System.out.println("- " + p);
     }
 
+    private void showLeaderboard() {
+        Leaderboard board = SaveSystem.getLeaderboard();
+        if(board.size() == 0) {
+            System.out.println("No profiles found.");
+            return;
+        }
+        System.out.println("Top balances:");
+        int rank = 1;
+        for(Leaderboard.Entry e : board.top(10)) {
+            System.out.println(rank++ + ". " + e.getUsername() + " - " + e.getBalance());
+        }
+    }
+
     private String[] listProfiles() {
         File folder = new File(".");
         File[] files = folder.listFiles((dir, name) -> name.endsWith(".txt"));
@@ -137,13 +165,11 @@ public class BlackjackGame {
                 System.out.println("Profile loaded. Balance: " + balance);
             }
 
-            String mode = promptPlayerMode();
-            if(mode != null && mode.equalsIgnoreCase("a")) {
-                player = new AIPlayer(username);
-            } else {
-                player = new HumanPlayer(username, scanner);
-            }
-            dealer = new Dealer();
+            openJournal(false);
+            // journals are recovered at startup; this only catches one written by a process that crashed since
+            if(journal != null) balance = journal.recover(username, balance);
+            stats = SaveSystem.loadStats(username);
+            seatPlayers();
             return;
         }
     }
@@ -180,19 +206,28 @@ public class BlackjackGame {
             username = newUsername;
             password = newPassword;
             balance = 500;
+            stats = new RiskStats();
+            openJournal(true);
             SaveSystem.saveProfile(username, password, balance);
+            SaveSystem.saveStats(username, stats);
             System.out.println("New profile created. Balance: " + balance);
-            String mode = promptPlayerMode();
-            if(mode != null && mode.equalsIgnoreCase("a")) {
-                player = new AIPlayer(username);
-            } else {
-                player = new HumanPlayer(username, scanner);
-            }
-            dealer = new Dealer();
+            seatPlayers();
             return;
         }
     }
 
+    private void seatPlayers() {
+        String mode = promptPlayerMode();
+        if(mode != null && mode.equalsIgnoreCase("a")) {
+            player = new AIPlayer(username);
+        } else {
+            player = new HumanPlayer(username, scanner);
+        }
+        dealer = new Dealer();
+        player.setFeed(feed);
+        dealer.setFeed(feed);
+    }
+
     private void deleteProfile() {
         String[] profiles = listProfiles();
         if(profiles == null) {
@@ -241,6 +276,7 @@ public class BlackjackGame {
         while(true) {
             if(balance <= 0) {
                 SaveSystem.saveBalance(username, balance);
+                retireJournal();
                 if(!handleZeroBalance()) {
                     return;
                 }
@@ -248,6 +284,10 @@ public class BlackjackGame {
             }
 
             System.out.println("\nYour current balance: " + balance);
+            // The last round's deck is not reused (each round deals a new one) and the plaintext password
+            // is only needed while creating a profile, so neither is kept while the player sits at the prompt.
+            deck = null;
+            password = null;
             int bet = 0;
             while(true) {
                 System.out.print("Enter your bet (or 0 to quit): ");
@@ -255,6 +295,7 @@ public class BlackjackGame {
                     bet = Integer.parseInt(scanner.nextLine());
                     if(bet == 0) {
                         SaveSystem.saveBalance(username, balance);
+                        retireJournal();
                         System.out.println("Game saved. Goodbye!");
                         return;
                     }
@@ -265,14 +306,17 @@ public class BlackjackGame {
                 }
             }
             
+            feed.publish(TableFeed.ROUND_STARTED, player.getName() + " bets " + bet + ".");
             this.deck = new Deck();
             this.player.resetHand();
             this.dealer.resetHand();
+            checkpoint(RoundJournal.BET_PLACED, bet);
 
             this.player.addCard(this.deck.drawCard());
             this.player.addCard(this.deck.drawCard());
             this.dealer.addCard(this.deck.drawCard());
             this.dealer.addCardSilent(this.deck.drawCard());
+            checkpoint(RoundJournal.CARDS_DEALT, bet);
 
             System.out.println("\nDealer shows: " + this.dealer.getHand().get(0) + " and a face-down card.");
 
@@ -287,9 +331,10 @@ public class BlackjackGame {
                     if(action.equals("h")) {
                         this.player.addCard(this.deck.drawCard());
                     } else {
-                        System.out.println(this.player.getName() + " chose to stand.");
+                        announce(TableFeed.PLAYER_ACTION, this.player.getName() + " chose to stand.");
                         playerStands = true;
                     }
+                    checkpoint(RoundJournal.PLAYER_ACTION, bet);
                 }
 
                 int playerTotal = this.player.calculateHandValue();
@@ -297,28 +342,29 @@ public class BlackjackGame {
 
                 if(playerBust) {
                     if(!dealerHoleRevealed) {
-                        System.out.println("Dealer reveals hole card: " + this.dealer.getHand().get(1));
+                        announce(TableFeed.HOLE_REVEALED, "Dealer reveals hole card: " + this.dealer.getHand().get(1));
                         dealerHoleRevealed = true;
                     }
-                    System.out.println("Dealer stands.");
+                    announce(TableFeed.DEALER_ACTION, "Dealer stands.");
                     dealerStands = true;
-                    System.out.println("Busted! Dealer wins this round.");
-                    balance -= bet;
+                    announce(TableFeed.ROUND_SETTLED, "Busted! Dealer wins this round.");
+                    settleRound(bet, -bet);
                     roundResolved = true;
                     break;
                 }
 
                 if(!dealerStands) {
                     dealerStands = dealerTurnStep();
+                    checkpoint(RoundJournal.DEALER_ACTION, bet);
                 }
 
                 if(this.dealer.calculateHandValue() > 21) {
                     if(!dealerHoleRevealed) {
-                        System.out.println("Dealer reveals hole card: " + this.dealer.getHand().get(1));
+                        announce(TableFeed.HOLE_REVEALED, "Dealer reveals hole card: " + this.dealer.getHand().get(1));
                         dealerHoleRevealed = true;
                     }
-                    System.out.println("Dealer busts! You win this round.");
-                    balance += bet;
+                    announce(TableFeed.ROUND_SETTLED, "Dealer busts! You win this round.");
+                    settleRound(bet, bet);
                     roundResolved = true;
                     break;
                 }
@@ -333,7 +379,7 @@ public class BlackjackGame {
             }
 
             if(!dealerHoleRevealed) {
-                System.out.println("Dealer reveals hole card: " + this.dealer.getHand().get(1));
+                announce(TableFeed.HOLE_REVEALED, "Dealer reveals hole card: " + this.dealer.getHand().get(1));
                 dealerHoleRevealed = true;
             }
 
@@ -345,17 +391,68 @@ public class BlackjackGame {
             System.out.println("Dealer total: " + dealerTotal);
 
             if(dealerTotal > 21 || playerTotal > dealerTotal) {
-                System.out.println("You win this round!");
-                balance += bet;
+                announce(TableFeed.ROUND_SETTLED, "You win this round!");
+                settleRound(bet, bet);
             } else if(playerTotal == dealerTotal) {
-                System.out.println("Tie! No balance change.");
+                announce(TableFeed.ROUND_SETTLED, "Tie! No balance change.");
+                settleRound(bet, 0);
             } else {
-                System.out.println("Dealer wins this round.");
-                balance -= bet;
+                announce(TableFeed.ROUND_SETTLED, "Dealer wins this round.");
+                settleRound(bet, -bet);
             }
         }
     }
 
+    private void announce(int kind, String message) {
+        System.out.println(message);
+        feed.publish(kind, message);
+    }
+
+    private void settleRound(int bet, int result) {
+        balance += result;
+        stats.recordRound(bet, result, balance);
+        checkpoint(RoundJournal.SETTLED, bet);
+        SaveSystem.saveStats(username, stats);
+        showRiskStats(bet);
+    }
+
+    private void showRiskStats(int bet) {
+        double risk = stats.riskOfRuin(balance, bet);
+        String riskText = Double.isNaN(risk) ? "n/a" : String.format("%.1f%%", risk * 100);
+        System.out.println(String.format("Stats over %d rounds at a bet of %d: mean %+.1f, std dev %.1f, max drawdown %d, risk of ruin %s",
+                stats.getRounds(), bet, stats.getMeanResult(bet), Math.sqrt(stats.getVariance(bet)),
+                stats.getMaxDrawdown(), riskText));
+    }
+
+    private void checkpoint(byte phase, int bet) {
+        if(journal == null) return;
+        journal.record(phase, bet, balance, player.getHand(), dealer.getHand());
+    }
+
+    private void retireJournal() {
+        if(journal == null) return;
+        try {
+            journal.retire();
+        } catch(IOException e) {
+            System.out.println("Unable to remove round checkpoints: " + e.getMessage());
+        }
+        journal = null;
+    }
+
+    private void openJournal(boolean fresh) {
+        try {
+            journal = RoundJournal.open(username);
+            if(journal == null) {
+                System.out.println("Round checkpoints unavailable: " + username + " is in use by another session.");
+            } else if(fresh) {
+                journal.clear();
+            }
+        } catch(IOException e) {
+            journal = null;
+            System.out.println("Round checkpoints unavailable: " + e.getMessage());
+        }
+    }
+
     private boolean handleZeroBalance() {
         System.out.println("You ran out of credits.");
         while(true) {
@@ -374,6 +471,8 @@ public class BlackjackGame {
                 dealer = null;
                 username = null;
                 password = null;
+                stats = null;
+                journal = null;
                 return false;
             } else if(choice.equals("2")) {
                 player = null;
@@ -446,12 +545,12 @@ public class BlackjackGame {
 
     private boolean dealerTurnStep() {
         if(dealer.calculateHandValue() < 17) {
-            System.out.println("Dealer hits.");
+            announce(TableFeed.DEALER_ACTION, "Dealer hits.");
             dealer.addCard(deck.drawCard());
             return false;
         }
 
-        System.out.println("Dealer stands.");
+        announce(TableFeed.DEALER_ACTION, "Dealer stands.");
         return true;
     }
 
@@ -2,19 +2,15 @@ import java.util.ArrayList;
 import java.util.Collections;
 
 public class Deck {
+    private static final String[] SUITS = {"Hearts", "Diamonds", "Clubs", "Spades"};
+    private static final String[] RANKS = {"2","3","4","5","6","7","8","9","10","Jack","Queen","King","Ace"};
+    private static final int[] VALUES = {2,3,4,5,6,7,8,9,10,10,10,10,11};
+
     private ArrayList<Card> cards;
 
     public Deck() {
         cards = new ArrayList<>();
-        String[] suits = {"Hearts", "Diamonds", "Clubs", "Spades"};
-        String[] ranks = {"2","3","4","5","6","7","8","9","10","Jack","Queen","King","Ace"};
-        int[] values = {2,3,4,5,6,7,8,9,10,10,10,10,11};
-
-        for(String suit : suits) {
-            for(int i = 0; i < ranks.length; i++) {
-                cards.add(new Card(suit, ranks[i], values[i]));
-            }
-        }
+        fill();
         shuffle();
     }
 
@@ -25,16 +21,44 @@ public class Deck {
     public Card drawCard() {
         if(cards.isEmpty()) {
             // Rebuild a fresh deck if exhausted and reshuffle
-            String[] suits = {"Hearts", "Diamonds", "Clubs", "Spades"};
-            String[] ranks = {"2","3","4","5","6","7","8","9","10","Jack","Queen","King","Ace"};
-            int[] values = {2,3,4,5,6,7,8,9,10,10,10,10,11};
-            for(String suit : suits) {
-                for(int i = 0; i < ranks.length; i++) {
-                    cards.add(new Card(suit, ranks[i], values[i]));
-                }
-            }
+            fill();
             shuffle();
         }
         return cards.remove(0);
     }
+
+    /**
+     * Compact index of a card (0-51), suit-major in the same order a fresh deck is built.
+     */
+    public static int cardIndex(Card card) {
+        int suit = indexOf(SUITS, card.getSuit());
+        int rank = indexOf(RANKS, card.getRank());
+        if(suit < 0 || rank < 0) {
+            throw new IllegalArgumentException("Unknown card: " + card);
+        }
+        return suit * RANKS.length + rank;
+    }
+
+    public static Card cardAt(int index) {
+        if(index < 0 || index >= SUITS.length * RANKS.length) {
+            throw new IllegalArgumentException("Invalid card index: " + index);
+        }
+        int rank = index % RANKS.length;
+        return new Card(SUITS[index / RANKS.length], RANKS[rank], VALUES[rank]);
+    }
+
+    private void fill() {
+        for(String suit : SUITS) {
+            for(int i = 0; i < RANKS.length; i++) {
+                cards.add(new Card(suit, RANKS[i], VALUES[i]));
+            }
+        }
+    }
+
+    private static int indexOf(String[] values, String value) {
+        for(int i = 0; i < values.length; i++) {
+            if(values[i].equals(value)) return i;
+        }
+        return -1;
+    }
 }
@@ -0,0 +1,237 @@
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * In-memory ranking of profiles by balance (highest first, ties by username).
+ * Balances are kept in an order-statistic treap, so updates, top-K and rank lookups
+ * take logarithmic time instead of reading every profile file.
+ * All methods are synchronized so the board can be read from another thread while the game updates it.
+ */
+public class Leaderboard {
+
+    public static class Entry {
+        private final String username;
+        private final int balance;
+
+        public Entry(String username, int balance) {
+            this.username = username;
+            this.balance = balance;
+        }
+
+        public String getUsername() { return username; }
+        public int getBalance() { return balance; }
+    }
+
+    private static class Node {
+        private final String username;
+        private final int balance;
+        private final int priority;
+        private int size = 1;
+        private Node left;
+        private Node right;
+
+        private Node(String username, int balance, int priority) {
+            this.username = username;
+            this.balance = balance;
+            this.priority = priority;
+        }
+    }
+
+    private final Map<String, Integer> balances = new HashMap<>();
+    // Modification time of each profile file when its balance was last taken, used to spot stale entries.
+    private final Map<String, Long> modified = new HashMap<>();
+    private final Random random = new Random();
+    private Node root;
+
+    /**
+     * Sets a user's balance, remembering the modification time of the profile file it came from.
+     */
+    public synchronized void update(String username, int balance, long profileModified) {
+        modified.put(username, profileModified);
+        Integer old = balances.put(username, balance);
+        if(old != null) {
+            if(old == balance) return;
+            root = remove(root, username, old);
+        }
+        root = insert(root, new Node(username, balance, random.nextInt()));
+    }
+
+    public synchronized boolean remove(String username) {
+        modified.remove(username);
+        Integer old = balances.remove(username);
+        if(old == null) return false;
+        root = remove(root, username, old);
+        return true;
+    }
+
+    /**
+     * Returns the profile modification time recorded for a user, or -1 when unknown.
+     */
+    public synchronized long getModified(String username) {
+        Long time = modified.get(username);
+        return time == null ? -1L : time;
+    }
+
+    public synchronized int size() {
+        return balances.size();
+    }
+
+    public synchronized Set<String> usernames() {
+        return new HashSet<>(balances.keySet());
+    }
+
+    /**
+     * Returns up to {@code k} entries, best balance first.
+     */
+    public synchronized List<Entry> top(int k) {
+        List<Entry> result = new ArrayList<>(Math.max(0, Math.min(k, balances.size())));
+        collect(root, k, result);
+        return result;
+    }
+
+    /**
+     * Returns the 1-based rank of a user, or -1 when the user is not on the board.
+     */
+    public synchronized int rankOf(String username) {
+        Integer balance = balances.get(username);
+        if(balance == null) return -1;
+
+        int rank = 1;
+        Node node = root;
+        while(node != null) {
+            int c = compare(username, balance, node);
+            if(c < 0) {
+                node = node.left;
+            } else if(c > 0) {
+                rank += size(node.left) + 1;
+                node = node.right;
+            } else {
+                return rank + size(node.left);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Writes every entry as {@code username balance profileModified}, in rank order.
+     */
+    public synchronized void save(File file) throws IOException {
+        File temp = new File(file.getPath() + ".tmp");
+        try (PrintWriter writer = new PrintWriter(new FileWriter(temp))) {
+            for(Entry e : top(balances.size())) writer.println(e.getUsername() + " " + e.getBalance() + " " + getModified(e.getUsername()));
+            if(writer.checkError()) {
+                throw new IOException("Write failed for " + temp);
+            }
+        }
+        if(!temp.renameTo(file)) {
+            file.delete();
+            if(!temp.renameTo(file)) throw new IOException("Unable to replace " + file);
+        }
+    }
+
+    /**
+     * Reads a snapshot written by {@link #save(File)}, or returns null when it is missing or malformed.
+     */
+    public static Leaderboard load(File file) {
+        if(!file.exists()) return null;
+
+        Leaderboard board = new Leaderboard();
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            String line;
+            while((line = reader.readLine()) != null) {
+                if(line.trim().isEmpty()) continue;
+                String[] parts = line.trim().split(" ");
+                long profileModified = parts.length > 2 ? Long.parseLong(parts[2]) : -1L;
+                board.update(parts[0], Integer.parseInt(parts[1]), profileModified);
+            }
+            return board;
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static int compare(String username, int balance, Node node) {
+        if(balance != node.balance) return balance > node.balance ? -1 : 1;
+        return username.compareTo(node.username);
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static void resize(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+
+    private static Node insert(Node node, Node added) {
+        if(node == null) return added;
+        if(compare(added.username, added.balance, node) < 0) {
+            node.left = insert(node.left, added);
+            if(node.left.priority > node.priority) node = rotateRight(node);
+        } else {
+            node.right = insert(node.right, added);
+            if(node.right.priority > node.priority) node = rotateLeft(node);
+        }
+        resize(node);
+        return node;
+    }
+
+    private static Node remove(Node node, String username, int balance) {
+        if(node == null) return null;
+        int c = compare(username, balance, node);
+        if(c == 0) return merge(node.left, node.right);
+        if(c < 0) node.left = remove(node.left, username, balance);
+        else node.right = remove(node.right, username, balance);
+        resize(node);
+        return node;
+    }
+
+    private static Node merge(Node a, Node b) {
+        if(a == null) return b;
+        if(b == null) return a;
+        if(a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            resize(a);
+            return a;
+        }
+        b.left = merge(a, b.left);
+        resize(b);
+        return b;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        resize(node);
+        resize(pivot);
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        resize(node);
+        resize(pivot);
+        return pivot;
+    }
+
+    private static void collect(Node node, int k, List<Entry> out) {
+        if(node == null || out.size() >= k) return;
+        collect(node.left, k, out);
+        if(out.size() < k) out.add(new Entry(node.username, node.balance));
+        collect(node.right, k, out);
+    }
+}
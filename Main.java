@@ -5,6 +5,7 @@ public class Main {
         Scanner scanner = new Scanner(System.in);
         BlackjackGame game = new BlackjackGame(scanner);
         game.startGame();
+        SaveSystem.saveLeaderboard();
         scanner.close();
     }
 }
@@ -5,6 +5,7 @@ import java.util.List;
 public abstract class Player {
     protected String name;
     private ArrayList<Card> hand;
+    private TableFeed feed;
 
     public Player(String name) {
         this.name = name;
@@ -14,6 +15,7 @@ public abstract class Player {
     public void addCard(Card card) {
         hand.add(card);
         System.out.println(name + " draws: " + card);
+        if(feed != null) feed.publish(TableFeed.CARD_DEALT, name + " draws: " + card);
     }
     
     public void addCardSilent(Card card) {
@@ -28,6 +30,10 @@ public abstract class Player {
         return Collections.unmodifiableList(hand);
     }
 
+    public void setFeed(TableFeed feed) {
+        this.feed = feed;
+    }
+
     public String getName() {
         return name;
     }
@@ -0,0 +1,199 @@
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Command-line tool that migrates a directory of legacy {@code username.txt} profiles in bulk.
+ * Every legacy layout accepted by {@link SaveSystem#loadProfile(String)} is rewritten in the current format
+ * and plaintext passwords are hashed, so the game no longer has to upgrade them one login at a time.
+ * Profiles are read and written in batches on a thread pool. Each finished batch is appended to
+ * {@code migration.checkpoint} in the target directory, and a rerun skips everything already listed there.
+ *
+ * Usage: {@code java ProfileMigrator <sourceDir> <targetDir> [threads] [batchSize]}
+ */
+public class ProfileMigrator {
+    public static final String CHECKPOINT_FILE = "migration.checkpoint";
+
+    private final Path source;
+    private final Path target;
+    private final int threads;
+    private final int batchSize;
+
+    private final AtomicLong migrated = new AtomicLong();
+    private final AtomicLong hashed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private BufferedWriter checkpoint;
+
+    public ProfileMigrator(Path source, Path target, int threads, int batchSize) {
+        if(threads <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("Threads and batch size must be positive.");
+        }
+        this.source = source;
+        this.target = target;
+        this.threads = threads;
+        this.batchSize = batchSize;
+    }
+
+    public static void main(String[] args) {
+        if(args.length < 2) {
+            System.out.println("Usage: java ProfileMigrator <sourceDir> <targetDir> [threads] [batchSize]");
+            return;
+        }
+        try {
+            int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+            int batchSize = args.length > 3 ? Integer.parseInt(args[3]) : 500;
+            new ProfileMigrator(Paths.get(args[0]), Paths.get(args[1]), threads, batchSize).run();
+        } catch (NumberFormatException e) {
+            System.out.println("Threads and batch size must be numbers.");
+        } catch (IllegalArgumentException | IOException e) {
+            System.out.println("Migration failed: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.out.println("Migration interrupted. Run again to resume.");
+        }
+    }
+
+    public void run() throws IOException, InterruptedException {
+        Files.createDirectories(target);
+        Set<String> done = loadCheckpoint();
+        if(!done.isEmpty()) {
+            System.out.println("Resuming: " + done.size() + " profiles already migrated.");
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        // Bounds the batches in flight so memory stays flat however large the directory is.
+        Semaphore inFlight = new Semaphore(threads * 2);
+        long skipped = 0;
+
+        try (BufferedWriter writer = Files.newBufferedWriter(target.resolve(CHECKPOINT_FILE), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+             DirectoryStream<Path> files = Files.newDirectoryStream(source, "*.txt")) {
+            checkpoint = writer;
+            try {
+                List<String> batch = new ArrayList<>(batchSize);
+                for(Path file : files) {
+                    String username = file.getFileName().toString().replace(".txt", "");
+                    if(!username.matches("[A-Za-z0-9_]+") || done.contains(username)) {
+                        skipped++;
+                        continue;
+                    }
+                    batch.add(username);
+                    if(batch.size() == batchSize) {
+                        submit(pool, inFlight, batch);
+                        batch = new ArrayList<>(batchSize);
+                    }
+                }
+                if(!batch.isEmpty()) {
+                    submit(pool, inFlight, batch);
+                }
+            } finally {
+                // Even when the walk fails or is interrupted, let submitted batches finish
+                // and record their checkpoints before the writer is closed.
+                pool.shutdown();
+                awaitTermination(pool);
+                checkpoint = null;
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        System.out.println("Migration complete. Migrated: " + migrated.get() + ", passwords hashed: " + hashed.get()
+                + ", skipped: " + skipped + ", failed: " + failed.get());
+        if(failed.get() > 0) {
+            System.out.println("Failed profiles were not checkpointed; run again to retry them.");
+        }
+    }
+
+    private static void awaitTermination(ExecutorService pool) {
+        boolean interrupted = false;
+        while(true) {
+            try {
+                if(pool.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS)) break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if(interrupted) Thread.currentThread().interrupt();
+    }
+
+    private void submit(ExecutorService pool, Semaphore inFlight, List<String> batch) throws InterruptedException {
+        inFlight.acquire();
+        pool.execute(() -> {
+            try {
+                migrateBatch(batch);
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    private void migrateBatch(List<String> batch) {
+        List<String> completed = new ArrayList<>(batch.size());
+        for(String username : batch) {
+            try {
+                migrateProfile(username);
+                completed.add(username);
+            } catch (IOException e) {
+                failed.incrementAndGet();
+                System.out.println("Error migrating profile " + username + ": " + e.getMessage());
+            }
+        }
+
+        synchronized(this) {
+            try {
+                for(String username : completed) {
+                    checkpoint.write(username);
+                    checkpoint.newLine();
+                }
+                checkpoint.flush();
+            } catch (IOException e) {
+                System.out.println("Error writing checkpoint: " + e.getMessage());
+            }
+        }
+        long total = migrated.addAndGet(completed.size());
+        System.out.println("Migrated " + total + " profiles (" + hashed.get() + " passwords hashed, "
+                + failed.get() + " failed)");
+    }
+
+    private void migrateProfile(String username) throws IOException {
+        SaveSystem.ProfileData data = SaveSystem.readProfile(source.resolve(username + ".txt").toFile(), username);
+        String password = data.getPassword();
+        if(password != null && !password.isEmpty() && !SaveSystem.isPasswordHash(password)) {
+            password = SaveSystem.hashPassword(password);
+            hashed.incrementAndGet();
+        }
+
+        // Write beside the destination and move into place so a crash never leaves a half-written profile.
+        Path destination = target.resolve(username + ".txt");
+        File temp = target.resolve(username + ".txt.tmp").toFile();
+        SaveSystem.writeProfile(temp, password, data.getBalance());
+        Files.move(temp.toPath(), destination, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private Set<String> loadCheckpoint() throws IOException {
+        Set<String> done = new HashSet<>();
+        Path file = target.resolve(CHECKPOINT_FILE);
+        if(Files.exists(file)) {
+            for(String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                if(!line.trim().isEmpty()) done.add(line.trim());
+            }
+        }
+        return done;
+    }
+}
@@ -0,0 +1,83 @@
+/**
+ * Streaming bankroll statistics for a single profile.
+ * Every settled round is folded in as it happens (Welford's algorithm for mean and variance),
+ * so the memory used stays the same no matter how many rounds a profile plays.
+ * Results are tracked per unit bet (+1 win, 0 tie, -1 loss) so they can be rescaled to any bet size.
+ */
+public class RiskStats {
+    private long rounds;
+    private double mean;
+    private double m2;
+    private int peakBalance;
+    private int maxDrawdown;
+
+    public RiskStats() {
+    }
+
+    public RiskStats(long rounds, double mean, double m2, int peakBalance, int maxDrawdown) {
+        this.rounds = rounds;
+        this.mean = mean;
+        this.m2 = m2;
+        this.peakBalance = peakBalance;
+        this.maxDrawdown = maxDrawdown;
+    }
+
+    /**
+     * Records one settled round.
+     * @param bet the amount wagered
+     * @param result the balance change for the round (positive win, negative loss, 0 tie)
+     * @param balanceAfter the balance once the round has been settled
+     */
+    public void recordRound(int bet, int result, int balanceAfter) {
+        if(bet <= 0) return;
+
+        double outcome = (double) result / bet;
+        rounds++;
+        double delta = outcome - mean;
+        mean += delta / rounds;
+        m2 += delta * (outcome - mean);
+
+        int balanceBefore = balanceAfter - result;
+        if(balanceBefore > peakBalance) peakBalance = balanceBefore;
+        if(balanceAfter > peakBalance) peakBalance = balanceAfter;
+        int drawdown = peakBalance - balanceAfter;
+        if(drawdown > maxDrawdown) maxDrawdown = drawdown;
+    }
+
+    public long getRounds() { return rounds; }
+    public double getMean() { return mean; }
+    public double getM2() { return m2; }
+    public int getPeakBalance() { return peakBalance; }
+    public int getMaxDrawdown() { return maxDrawdown; }
+
+    /**
+     * Mean balance change per round when betting the given amount.
+     */
+    public double getMeanResult(int bet) {
+        return mean * bet;
+    }
+
+    /**
+     * Sample variance of the per-round balance change when betting the given amount.
+     */
+    public double getVariance(int bet) {
+        if(rounds < 2) return 0.0;
+        return (m2 / (rounds - 1)) * bet * bet;
+    }
+
+    /**
+     * Estimates the probability of losing the whole bankroll when repeatedly betting the given amount,
+     * using the diffusion approximation exp(-2 * mean * bankroll / variance).
+     * Returns 1.0 when the observed edge is not positive, since ruin is then certain in the long run.
+     */
+    public double riskOfRuin(int bankroll, int bet) {
+        if(bankroll <= 0) return 1.0;
+        if(bet <= 0 || rounds < 2) return Double.NaN;
+
+        double meanResult = getMeanResult(bet);
+        double variance = getVariance(bet);
+        if(meanResult <= 0) return 1.0;
+        if(variance == 0) return 0.0;
+        return Math.min(1.0, Math.exp(-2.0 * meanResult * bankroll / variance));
+    }
+}
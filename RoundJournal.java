@@ -0,0 +1,255 @@
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Crash journal for the round in progress, stored as {@code username.journal}.
+ * The file is preallocated and memory-mapped; every state transition writes one fixed-size record
+ * into a small ring of slots, so a checkpoint is a few memory stores rather than a file rewrite.
+ * Records reach the OS page cache immediately and therefore survive the game process dying;
+ * a checksum lets a record torn by a machine crash be ignored.
+ * A session holds a file lock on its journal until it ends, so recovery never touches a live session,
+ * and a session that ends cleanly retires its journal; any journal found at startup was left by a crash.
+ *
+ * Record layout (64 bytes): sequence (long, written last), phase, player card count, dealer card count,
+ * bet (int), balance (int), player cards, dealer cards (one {@link Deck#cardIndex(Card)} byte each), checksum (int).
+ */
+public class RoundJournal {
+    public static final byte BET_PLACED = 1;
+    public static final byte CARDS_DEALT = 2;
+    public static final byte PLAYER_ACTION = 3;
+    public static final byte DEALER_ACTION = 4;
+    public static final byte SETTLED = 5;
+    public static final byte VOIDED = 6;
+
+    private static final int SLOTS = 64;
+    private static final int RECORD_SIZE = 64;
+    private static final int MAX_CARDS = 20;
+    private static final int PHASE = 8;
+    private static final int PLAYER_COUNT = 9;
+    private static final int DEALER_COUNT = 10;
+    private static final int BET = 12;
+    private static final int BALANCE = 16;
+    private static final int PLAYER_CARDS = 20;
+    private static final int DEALER_CARDS = PLAYER_CARDS + MAX_CARDS;
+    private static final int CHECKSUM = DEALER_CARDS + MAX_CARDS;
+
+    /**
+     * One decoded journal record.
+     */
+    public static class Checkpoint {
+        private final long sequence;
+        private final byte phase;
+        private final int bet;
+        private final int balance;
+        private final List<Card> playerHand;
+        private final List<Card> dealerHand;
+
+        private Checkpoint(long sequence, byte phase, int bet, int balance, List<Card> playerHand, List<Card> dealerHand) {
+            this.sequence = sequence;
+            this.phase = phase;
+            this.bet = bet;
+            this.balance = balance;
+            this.playerHand = playerHand;
+            this.dealerHand = dealerHand;
+        }
+
+        public long getSequence() { return sequence; }
+        public byte getPhase() { return phase; }
+        public int getBet() { return bet; }
+        /** Balance at this point; before settlement it does not include the result of the round yet. */
+        public int getBalance() { return balance; }
+        public List<Card> getPlayerHand() { return playerHand; }
+        public List<Card> getDealerHand() { return dealerHand; }
+
+        public boolean isRoundOpen() {
+            return phase != SETTLED && phase != VOIDED;
+        }
+    }
+
+    private final File file;
+    private final FileChannel channel;
+    private final FileLock lock;
+    private final MappedByteBuffer buffer;
+    private long nextSequence;
+
+    private RoundJournal(File file, FileChannel channel, FileLock lock, MappedByteBuffer buffer) {
+        this.file = file;
+        this.channel = channel;
+        this.lock = lock;
+        this.buffer = buffer;
+        Checkpoint last = latest();
+        this.nextSequence = last == null ? 1 : last.getSequence() + 1;
+    }
+
+    /**
+     * Opens (creating and preallocating if needed) the journal of a profile and locks it for this session.
+     * Returns null when another running session already holds the lock.
+     */
+    public static RoundJournal open(String username) throws IOException {
+        File file = journalFile(username);
+        FileChannel channel = FileChannel.open(file.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            FileLock lock;
+            try {
+                lock = channel.tryLock();
+            } catch (OverlappingFileLockException e) {
+                lock = null;
+            }
+            if(lock == null) {
+                channel.close();
+                return null;
+            }
+            return new RoundJournal(file, channel, lock,
+                    channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) SLOTS * RECORD_SIZE));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public static File journalFile(String username) {
+        return new File(username + ".journal");
+    }
+
+    /**
+     * Writes a checkpoint for the current round.
+     */
+    public void record(byte phase, int bet, int balance, List<Card> playerHand, List<Card> dealerHand) {
+        long sequence = nextSequence++;
+        int base = (int) (sequence % SLOTS) * RECORD_SIZE;
+
+        // Invalidate the slot first so a half-written record is never mistaken for a complete one.
+        buffer.putLong(base, 0L);
+        buffer.put(base + PHASE, phase);
+        buffer.putInt(base + BET, bet);
+        buffer.putInt(base + BALANCE, balance);
+        putCards(base + PLAYER_COUNT, base + PLAYER_CARDS, playerHand);
+        putCards(base + DEALER_COUNT, base + DEALER_CARDS, dealerHand);
+        buffer.putInt(base + CHECKSUM, checksum(base, sequence));
+        buffer.putLong(base, sequence);
+    }
+
+    /**
+     * Returns the most recent valid checkpoint, or null when the journal is empty.
+     */
+    public Checkpoint latest() {
+        int bestBase = -1;
+        long bestSequence = 0;
+        for(int slot = 0; slot < SLOTS; slot++) {
+            int base = slot * RECORD_SIZE;
+            long sequence = buffer.getLong(base);
+            if(sequence > bestSequence && buffer.getInt(base + CHECKSUM) == checksum(base, sequence)) {
+                bestSequence = sequence;
+                bestBase = base;
+            }
+        }
+        if(bestBase < 0) return null;
+
+        return new Checkpoint(bestSequence, buffer.get(bestBase + PHASE),
+                buffer.getInt(bestBase + BET), buffer.getInt(bestBase + BALANCE),
+                getCards(bestBase + PLAYER_COUNT, bestBase + PLAYER_CARDS),
+                getCards(bestBase + DEALER_COUNT, bestBase + DEALER_CARDS));
+    }
+
+    /**
+     * Applies this journal to its profile. The last checkpoint holds the latest balance, and a round that never
+     * reached settlement is voided: the bet was not yet deducted, so it is simply returned.
+     * The profile is rewritten when its balance differs, and the balance to use is returned.
+     */
+    public int recover(String username, int profileBalance) {
+        Checkpoint last = latest();
+        if(last == null) return profileBalance;
+
+        if(last.isRoundOpen()) {
+            record(VOIDED, last.getBet(), last.getBalance(), last.getPlayerHand(), last.getDealerHand());
+            System.out.println("Unfinished round for " + username + " was voided. Bet of " + last.getBet() + " returned.");
+        }
+        if(last.getBalance() != profileBalance) {
+            SaveSystem.saveBalance(username, last.getBalance());
+            System.out.println("Recovered balance for " + username + ": " + last.getBalance());
+        }
+        return last.getBalance();
+    }
+
+    /**
+     * Runs {@link #recover(String, int)} for every profile that has a journal, so profile files
+     * (and everything reading them, such as the leaderboard) reflect rounds lost in a crash
+     * without waiting for each user to log in again.
+     */
+    public static void recoverAll() {
+        File[] files = new File(".").listFiles((dir, name) -> name.endsWith(".journal"));
+        if(files == null) return;
+
+        for(File file : files) {
+            String username = file.getName().replace(".journal", "");
+            SaveSystem.ProfileData data = SaveSystem.loadProfile(username);
+            if(data == null) continue;
+            try {
+                RoundJournal journal = open(username);
+                // a locked journal belongs to a session that is still running
+                if(journal == null) continue;
+                journal.recover(username, data.getBalance());
+                journal.retire();
+            } catch (IOException e) {
+                System.out.println("Unable to recover round checkpoints for " + username + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Erases every checkpoint, e.g. when a new profile reuses a name.
+     */
+    public void clear() {
+        for(int i = 0; i < SLOTS * RECORD_SIZE; i += 8) buffer.putLong(i, 0L);
+        nextSequence = 1;
+    }
+
+    /**
+     * Releases the session's lock without removing the journal.
+     */
+    public void close() throws IOException {
+        try {
+            lock.release();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Ends the journal of a session that finished cleanly: clears it, releases the lock and deletes the file,
+     * so startup recovery only ever finds journals left by a crash.
+     */
+    public void retire() throws IOException {
+        clear();
+        close();
+        file.delete();
+    }
+
+    private void putCards(int countOffset, int cardsOffset, List<Card> hand) {
+        int count = Math.min(hand.size(), MAX_CARDS);
+        buffer.put(countOffset, (byte) count);
+        for(int i = 0; i < count; i++) buffer.put(cardsOffset + i, (byte) Deck.cardIndex(hand.get(i)));
+    }
+
+    private List<Card> getCards(int countOffset, int cardsOffset) {
+        int count = buffer.get(countOffset);
+        List<Card> cards = new ArrayList<>(count);
+        for(int i = 0; i < count; i++) cards.add(Deck.cardAt(buffer.get(cardsOffset + i)));
+        return Collections.unmodifiableList(cards);
+    }
+
+    private int checksum(int base, long sequence) {
+        int hash = Long.hashCode(sequence);
+        for(int i = PHASE; i < CHECKSUM; i++) hash = 31 * hash + buffer.get(base + i);
+        return hash;
+    }
+}
@@ -4,11 +4,18 @@ import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * Utility class that manages persistence of user profiles (username, password, balance).
  */
 public class SaveSystem {
+    private static final String LEADERBOARD_FILE = "leaderboard.dat";
+    private static final int LEADERBOARD_SNAPSHOT_INTERVAL = 1000;
+
+    private static Leaderboard leaderboard;
+    private static int leaderboardChanges;
 
     public static class ProfileData {
         private final String username;
@@ -34,16 +41,32 @@ public class SaveSystem {
             writer.println(balance);
         } catch (IOException e) {
             System.out.println("Error saving profile for " + username + ": " + e.getMessage());
+            return;
         }
+        updateLeaderboard(username, balance);
     }
 
     public static void saveProfileHashed(String username, String hashedPassword, int balance) {
+        try {
+            writeProfile(new File(username + ".txt"), hashedPassword, balance);
+        } catch (IOException e) {
+            System.out.println("Error saving profile for " + username + ": " + e.getMessage());
+            return;
+        }
+        updateLeaderboard(username, balance);
+    }
+
+    /**
+     * Writes a profile file in the current format: password hash on line 1, balance on line 2.
+     */
+    static void writeProfile(File file, String hashedPassword, int balance) throws IOException {
         String safeHash = hashedPassword == null ? "" : hashedPassword;
-        try (PrintWriter writer = new PrintWriter(new FileWriter(username + ".txt"))) {
+        try (PrintWriter writer = new PrintWriter(new FileWriter(file))) {
             writer.println(safeHash);
             writer.println(balance);
-        } catch (IOException e) {
-            System.out.println("Error saving profile for " + username + ": " + e.getMessage());
+            if(writer.checkError()) {
+                throw new IOException("Write failed for " + file);
+            }
         }
     }
 
@@ -62,6 +85,20 @@ public class SaveSystem {
             return null;
         }
 
+        try {
+            return readProfile(file, username);
+        } catch (IOException e) {
+            System.out.println("Error loading profile for " + username + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Reads a profile file, accepting every layout the game has used:
+     * an empty file, a single balance line, a single plaintext password line, or password and balance.
+     * The password is returned as stored, so it may still be legacy plaintext.
+     */
+    static ProfileData readProfile(File file, String username) throws IOException {
         try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
             String firstLine = reader.readLine();
             if(firstLine == null) {
@@ -85,9 +122,6 @@ public class SaveSystem {
                 balance = 500;
             }
             return new ProfileData(username, firstLine, balance);
-        } catch (IOException e) {
-            System.out.println("Error loading profile for " + username + ": " + e.getMessage());
-            return null;
         }
     }
 
@@ -113,12 +147,111 @@ public class SaveSystem {
         }
     }
 
+    /**
+     * True when the stored value looks like a hash produced by {@link #hashPassword(String)}.
+     */
+    public static boolean isPasswordHash(String stored) {
+        return stored != null && stored.matches("[0-9a-f]{64}");
+    }
+
     public static boolean verifyPassword(String rawPassword, String storedHash) {
         if(storedHash == null) return rawPassword == null || rawPassword.isEmpty();
         String h = hashPassword(rawPassword == null ? "" : rawPassword);
         return h.equals(storedHash);
     }
 
+    /**
+     * Saves the streaming risk statistics next to the profile as {@code username.stats}.
+     */
+    public static void saveStats(String username, RiskStats stats) {
+        if(stats == null) return;
+        try (PrintWriter writer = new PrintWriter(new FileWriter(username + ".stats"))) {
+            writer.println(stats.getRounds());
+            writer.println(stats.getMean());
+            writer.println(stats.getM2());
+            writer.println(stats.getPeakBalance());
+            writer.println(stats.getMaxDrawdown());
+        } catch (IOException e) {
+            System.out.println("Error saving statistics for " + username + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Loads the risk statistics for a profile, starting fresh when the file is missing or malformed.
+     */
+    public static RiskStats loadStats(String username) {
+        File file = new File(username + ".stats");
+        if(!file.exists()) {
+            return new RiskStats();
+        }
+
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            long rounds = Long.parseLong(reader.readLine().trim());
+            double mean = Double.parseDouble(reader.readLine().trim());
+            double m2 = Double.parseDouble(reader.readLine().trim());
+            int peakBalance = Integer.parseInt(reader.readLine().trim());
+            int maxDrawdown = Integer.parseInt(reader.readLine().trim());
+            return new RiskStats(rounds, mean, m2, peakBalance, maxDrawdown);
+        } catch (IOException | RuntimeException e) {
+            return new RiskStats();
+        }
+    }
+
+    /**
+     * Returns the live leaderboard, loading it on first use from the {@code leaderboard.dat} snapshot.
+     * The snapshot remembers the modification time of each profile it was built from, so only profiles whose
+     * file changed since then (including writes by other game processes) or that are missing from it are read
+     * from disk; without a snapshot every profile is read once.
+     */
+    public static synchronized Leaderboard getLeaderboard() {
+        if(leaderboard != null) return leaderboard;
+
+        File snapshot = new File(LEADERBOARD_FILE);
+        Leaderboard board = Leaderboard.load(snapshot);
+        if(board == null) board = new Leaderboard();
+
+        File[] files = new File(".").listFiles((dir, name) -> name.endsWith(".txt"));
+        Set<String> present = new HashSet<>();
+        if(files != null) {
+            for(File file : files) {
+                String username = file.getName().replace(".txt", "");
+                if(!username.matches("[A-Za-z0-9_]+")) continue;
+                present.add(username);
+                long modified = file.lastModified();
+                if(modified == board.getModified(username)) continue;
+                ProfileData data = loadProfile(username);
+                if(data != null) board.update(username, data.getBalance(), modified);
+            }
+        }
+        for(String username : board.usernames()) {
+            if(!present.contains(username)) board.remove(username);
+        }
+
+        leaderboard = board;
+        saveLeaderboard();
+        return leaderboard;
+    }
+
+    /**
+     * Writes the leaderboard snapshot so the next start does not need to read every profile.
+     */
+    public static synchronized void saveLeaderboard() {
+        if(leaderboard == null) return;
+        try {
+            leaderboard.save(new File(LEADERBOARD_FILE));
+            leaderboardChanges = 0;
+        } catch (IOException e) {
+            System.out.println("Error saving leaderboard: " + e.getMessage());
+        }
+    }
+
+    private static synchronized void updateLeaderboard(String username, Integer balance) {
+        Leaderboard board = getLeaderboard();
+        if(balance == null) board.remove(username);
+        else board.update(username, balance, new File(username + ".txt").lastModified());
+        if(++leaderboardChanges >= LEADERBOARD_SNAPSHOT_INTERVAL) saveLeaderboard();
+    }
+
     public static boolean profileExists(String username) {
         return new File(username + ".txt").exists();
     }
@@ -126,7 +259,12 @@ public class SaveSystem {
     public static boolean deleteProfile(String username) {
         File file = new File(username + ".txt");
         if(file.exists()) {
-            return file.delete();
+            if(!file.delete()) return false;
+            // side files go only once the profile itself is gone, so a failed delete keeps them intact
+            new File(username + ".stats").delete();
+            RoundJournal.journalFile(username).delete();
+            updateLeaderboard(username, null);
+            return true;
         } else {
             System.out.println("No profile found for " + username + ".");
             return false;
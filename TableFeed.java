@@ -0,0 +1,144 @@
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Live event feed that lets spectators watch a table.
+ * The game thread is the only writer and publishes into a preallocated ring buffer without locks.
+ * Each {@link Subscriber} keeps its own cursor and reads at its own pace; the writer never waits for them,
+ * so dealing costs the same no matter how many spectators are attached.
+ * A subscriber that falls more than a full ring behind skips ahead to the oldest event still available
+ * and the skipped events are counted in {@link Subscriber#getDropped()}.
+ */
+public class TableFeed {
+    public static final int ROUND_STARTED = 1;
+    public static final int CARD_DEALT = 2;
+    public static final int PLAYER_ACTION = 3;
+    public static final int DEALER_ACTION = 4;
+    public static final int HOLE_REVEALED = 5;
+    public static final int ROUND_SETTLED = 6;
+
+    private static final long WRITING = -1L;
+
+    private final int mask;
+    private final int[] kinds;
+    private final String[] texts;
+    // Sequence stored in each slot, or WRITING while the slot is being overwritten.
+    private final AtomicLongArray stamps;
+    private volatile long published;
+    private long next;
+
+    /**
+     * @param capacity number of events kept for slow readers, rounded up to a power of two
+     */
+    public TableFeed(int capacity) {
+        if(capacity <= 0 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30.");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if(size < capacity) size <<= 1;
+        this.mask = size - 1;
+        this.kinds = new int[size];
+        this.texts = new String[size];
+        this.stamps = new AtomicLongArray(size);
+        for(int i = 0; i < size; i++) stamps.set(i, WRITING);
+    }
+
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Publishes an event. Must only be called from the game thread.
+     */
+    public void publish(int kind, String text) {
+        long seq = next;
+        int slot = (int) (seq & mask);
+        stamps.set(slot, WRITING);
+        VarHandle.storeStoreFence();
+        kinds[slot] = kind;
+        texts[slot] = text;
+        stamps.setRelease(slot, seq);
+        next = seq + 1;
+        published = next;
+    }
+
+    /**
+     * Attaches a new spectator that starts with the next published event.
+     */
+    public Subscriber subscribe() {
+        return new Subscriber(published);
+    }
+
+    /**
+     * A reused view of one event; its fields change on the next {@link Subscriber#poll()}.
+     */
+    public static class Event {
+        private long sequence;
+        private int kind;
+        private String text;
+
+        public long getSequence() { return sequence; }
+        public int getKind() { return kind; }
+        public String getText() { return text; }
+    }
+
+    /**
+     * Read cursor for one spectator. A subscriber should only be used by one thread at a time.
+     */
+    public class Subscriber {
+        private final Event event = new Event();
+        private long cursor;
+        private long dropped;
+
+        private Subscriber(long start) {
+            this.cursor = start;
+        }
+
+        /**
+         * Returns the next event, or null when the subscriber has caught up.
+         */
+        public Event poll() {
+            while(true) {
+                long head = published;
+                if(cursor >= head) return null;
+
+                long oldest = head - getCapacity();
+                if(cursor < oldest) {
+                    dropped += oldest - cursor;
+                    cursor = oldest;
+                }
+
+                int slot = (int) (cursor & mask);
+                long before = stamps.getAcquire(slot);
+                int kind = kinds[slot];
+                String text = texts[slot];
+                VarHandle.loadLoadFence();
+                long after = stamps.get(slot);
+
+                if(before != cursor || after != cursor) {
+                    // The writer lapped us while reading; skip this event and catch up.
+                    dropped++;
+                    cursor++;
+                    continue;
+                }
+
+                event.sequence = cursor;
+                event.kind = kind;
+                event.text = text;
+                cursor++;
+                return event;
+            }
+        }
+
+        /**
+         * Number of events published but not yet read by this subscriber.
+         */
+        public long getLag() {
+            return Math.max(0, published - cursor);
+        }
+
+        public long getDropped() {
+            return dropped;
+        }
+    }
+}